@@ -14,6 +14,7 @@ public class Applicant {
     @Getter
     private String name;
 
+    @Getter
     @Setter
     private Set<String> skills;
 
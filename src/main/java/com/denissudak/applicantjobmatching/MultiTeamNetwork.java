@@ -0,0 +1,152 @@
+package com.denissudak.applicantjobmatching;
+
+import lombok.Getter;
+import org.openstructures.flow.FlowNetwork;
+import org.openstructures.flow.Node;
+import org.openstructures.flow.PushRelabelMaxFlow;
+import org.openstructures.flow.ValueNode;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.BiPredicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newTreeMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Objects.requireNonNull;
+import static org.openstructures.flow.ValueNode.node;
+
+/**
+ * Allocates one pool of applicants to several teams at once, so that no applicant is picked by more than one team.
+ * Unlike solving a {@link TeamNetwork} per team, the flow is shared by all teams, so it's consistent across them.
+ * The maximum flow is found in one solve only when all teams have the same {@link Team#getPriority()}:
+ * otherwise there is one solve of the whole network per distinct priority, see {@link #preflowPush()}.
+ */
+public class MultiTeamNetwork {
+    /**
+     * Team nodes are not adjacent to sink until {@link #preflowPush()}, which is why the network is not exposed
+     */
+    private final FlowNetwork flowNetwork;
+
+    @Getter
+    private final Set<Team> teams;
+
+    private boolean flowIsSet;
+
+    private MultiTeamNetwork(FlowNetwork flowNetwork, Set<Team> teams) {
+        this.flowNetwork = requireNonNull(flowNetwork);
+        this.teams = requireNonNull(teams);
+    }
+
+    /**
+     * Pushes as much flow as possible from source to sink.
+     * Teams get their team members in the order of their {@link Team#getPriority()}, from the highest:
+     * arcs from the nodes of teams with the same priority to the sink are added, and the flow is pushed further,
+     * before the next priority is added. Sink never pushes flow back, so the flow into it from the teams that are already added never decreases,
+     * and teams with lower priority only get the applicants that teams with higher priority can do without.
+     * <p>
+     * Node heights of a {@link PushRelabelMaxFlow} are only valid for the arcs that existed when it pushed the flow,
+     * so each priority is solved by a new one, starting from the residual network the previous priority left.
+     * Each of these solves goes over the whole network again, including all applicants that are not placed yet,
+     * so teams that each have a priority of their own cost as many solves as there are teams.
+     */
+    public void preflowPush() {
+        if (!flowIsSet) {
+            SortedMap<Integer, Set<Team>> teamsByPriority = newTreeMap(Comparator.<Integer>reverseOrder());
+            for (Team team : teams) {
+                teamsByPriority.computeIfAbsent(team.getPriority(), priority -> newHashSet()).add(team);
+            }
+            for (Set<Team> priorityTeams : teamsByPriority.values()) {
+                for (Team team : priorityTeams) {
+                    if (team.getTotalTeamMembersRequired() > 0) {
+                        flowNetwork.setArcCapacity(team.getTotalTeamMembersRequired(), node(team), flowNetwork.getSink());
+                    }
+                }
+                new PushRelabelMaxFlow(flowNetwork).preflowPush();
+            }
+            flowIsSet = true;
+        } else {
+            new PushRelabelMaxFlow(flowNetwork).preflowPush();
+        }
+    }
+
+    private void checkFlowIsSet() {
+        checkState(flowIsSet, "Flow is not set");
+    }
+
+    /**
+     * Flow into the sink shows as residual arcs from it, so the flow amount is read off them rather than any single {@link PushRelabelMaxFlow}
+     */
+    public int getFlowAmount() {
+        checkFlowIsSet();
+        Node sink = flowNetwork.getSink();
+        int flowAmount = 0;
+        for (Node teamNode : flowNetwork.getSuccessors(sink)) {
+            flowAmount += flowNetwork.getArcCapacity(sink, teamNode);
+        }
+        return flowAmount;
+    }
+
+    /**
+     * Multi-team network extends the team network (see {@link TeamNetwork#newTeamNetwork(BiPredicate, Set, Set)}) with a node per team.
+     * Source is adjacent to all applicants with arcs of capacity 1 – an applicant can only be assigned one role in one team.
+     * Each team requirement of each team has its own node, which an applicant is adjacent to only if they have the required skills.
+     * These arcs have capacity 1.
+     * Each team requirement node is adjacent to the node of its team with capacity {@link TeamRequirement#getTeamMembersRequired()}.
+     * Team nodes are adjacent to sink with capacity {@link Team#getTotalTeamMembersRequired()}, see {@link #preflowPush()}.
+     */
+    public static MultiTeamNetwork newMultiTeamNetwork(BiPredicate<Applicant, Set<String>> applicantQualifications, Set<Applicant> applicants, Set<Team> teams) {
+        checkNotNull(applicantQualifications);
+        checkNotNull(applicants);
+        checkNotNull(teams);
+
+        List<TeamRole> teamRoles = newArrayList();
+        for (Team team : teams) {
+            for (TeamRequirement tr : team.getTeamRequirements()) {
+                teamRoles.add(new TeamRole(team, tr));
+            }
+        }
+        FlowNetwork flowNetwork = TeamNetwork.newApplicantsFlowNetwork(applicants, teamRoles,
+                (applicant, teamRole) -> applicantQualifications.test(applicant, teamRole.teamRequirement().getRequiredSkills()));
+        for (TeamRole teamRole : teamRoles) {
+            flowNetwork.setArcCapacity(teamRole.teamRequirement().getTeamMembersRequired(), node(teamRole), node(teamRole.team()));
+        }
+
+        return new MultiTeamNetwork(flowNetwork, teams);
+    }
+
+    /**
+     * @return role assignments of each team, teams without team members included
+     */
+    public Map<Team, Map<Applicant, Set<String>>> getRoleAssignments() {
+        Map<Team, Map<Applicant, Set<String>>> roleAssignments = newHashMap();
+        for (Team team : teams) {
+            Map<Applicant, Set<String>> teamRoleAssignments = newHashMap();
+            for (TeamRequirement tr : team.getTeamRequirements()) {
+                Node teamRoleNode = node(new TeamRole(team, tr));
+                for (Node teamMemberNode : flowNetwork.getSuccessors(teamRoleNode)) {
+                    if (flowNetwork.getArcCapacity(teamRoleNode, teamMemberNode) > 0
+                            && teamMemberNode instanceof ValueNode<?> teamMemberValueNode
+                            && teamMemberValueNode.getValue() instanceof Applicant teamMember) {
+                        teamRoleAssignments.put(teamMember, tr.getRequiredSkills());
+                    }
+                }
+            }
+            roleAssignments.put(team, teamRoleAssignments);
+        }
+
+        return roleAssignments;
+    }
+
+    /**
+     * Team requirement of a particular team. The same team requirement shared by two teams is two different roles.
+     */
+    private record TeamRole(Team team, TeamRequirement teamRequirement) {
+    }
+}
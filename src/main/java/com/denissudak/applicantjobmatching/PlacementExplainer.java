@@ -0,0 +1,178 @@
+package com.denissudak.applicantjobmatching;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.openstructures.flow.FlowNetwork;
+import org.openstructures.flow.Node;
+import org.openstructures.flow.ValueNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Objects.requireNonNull;
+import static org.openstructures.flow.ValueNode.node;
+
+/**
+ * Answers why applicants were not placed using the minimum cut of the maximum flow in a {@link TeamNetwork}.
+ * The source side of the minimum cut consists of all nodes reachable from the source in the residual network.
+ * Every applicant who is not placed is on the source side, and so is every team requirement they qualify for.
+ * The arc connecting such team requirement with the sink is in the cut, which means the requirement is saturated.
+ * The applicant could still take the position of a team member who can move to another requirement,
+ * but that requirement is on the source side too, and so on: every requirement reachable this way is saturated
+ * and every team member holding them is needed where they are.
+ * These reachable requirements and their team members are what blocks the applicant.
+ * <p>
+ * There are few team requirements compared to applicants, so on creation the explainer computes, for each saturated team requirement
+ * on the source side, the requirements reachable from it. Each {@link #explain(Applicant)} call then visits the arcs
+ * of the applicant in question and joins the reachable requirements of each of them, which costs O(degree × R + C),
+ * where R is the number of team requirements and C the number of competing applicants it returns.
+ * This is more than O(degree), which is the price of returning the requirements that block the applicant transitively
+ * rather than only the ones they qualify for.
+ * <p>
+ * The explainer describes the flow at the time it was created, see {@link TeamNetwork#getPlacementExplainer()}.
+ */
+public class PlacementExplainer {
+
+    private final TeamNetwork teamNetwork;
+
+    private final int flowVersion;
+
+    private final Set<Applicant> notPlaced;
+
+    private final Map<Applicant, TeamRequirement> placements;
+
+    private final SetMultimap<TeamRequirement, Applicant> teamMembers;
+
+    /**
+     * Team requirements reachable in the residual network from each team requirement on the source side of the cut, itself included
+     */
+    private final SetMultimap<TeamRequirement, TeamRequirement> reachableRequirements;
+
+    PlacementExplainer(TeamNetwork teamNetwork) {
+        this.teamNetwork = requireNonNull(teamNetwork);
+        this.flowVersion = teamNetwork.getFlowVersion();
+        FlowNetwork flowNetwork = teamNetwork.getFlowNetwork();
+
+        this.notPlaced = newHashSet();
+        for (Node applicantNode : flowNetwork.getSuccessors(flowNetwork.getSource())) {
+            if (flowNetwork.getArcCapacity(flowNetwork.getSource(), applicantNode) > 0 && applicantNode instanceof ValueNode<?> applicantValueNode
+                    && applicantValueNode.getValue() instanceof Applicant applicant) {
+                notPlaced.add(applicant);
+            }
+        }
+
+        this.placements = newHashMap();
+        this.teamMembers = HashMultimap.create();
+        for (Node trNode : flowNetwork.getSuccessors(flowNetwork.getSink())) {
+            if (flowNetwork.getArcCapacity(flowNetwork.getSink(), trNode) > 0 && trNode instanceof ValueNode<?> trValueNode
+                    && trValueNode.getValue() instanceof TeamRequirement tr) {
+                for (Applicant teamMember : getTeamMembers(flowNetwork, trNode)) {
+                    placements.put(teamMember, tr);
+                    teamMembers.put(tr, teamMember);
+                }
+            }
+        }
+
+        /*
+         * A team requirement is on the source side if an applicant who is not placed qualifies for it,
+         * or a team member of a requirement on the source side does.
+         * Team members of a requirement can move to the requirements they have residual arcs to.
+         */
+        SetMultimap<TeamRequirement, TeamRequirement> requirementArcs = HashMultimap.create();
+        Set<TeamRequirement> sourceSide = newHashSet();
+        Deque<TeamRequirement> queue = new ArrayDeque<>();
+        for (Applicant applicant : notPlaced) {
+            for (TeamRequirement tr : getQualifiedRequirements(flowNetwork, node(applicant))) {
+                if (sourceSide.add(tr)) {
+                    queue.add(tr);
+                }
+            }
+        }
+        while (!queue.isEmpty()) {
+            TeamRequirement tr = queue.poll();
+            checkState(flowNetwork.getArcCapacity(node(tr), flowNetwork.getSink()) == 0, "Flow is not maximum");
+            for (Applicant teamMember : teamMembers.get(tr)) {
+                for (TeamRequirement otherTr : getQualifiedRequirements(flowNetwork, node(teamMember))) {
+                    requirementArcs.put(tr, otherTr);
+                    if (sourceSide.add(otherTr)) {
+                        queue.add(otherTr);
+                    }
+                }
+            }
+        }
+
+        this.reachableRequirements = HashMultimap.create();
+        for (TeamRequirement tr : sourceSide) {
+            Set<TeamRequirement> reachable = reachableRequirements.get(tr);
+            reachable.add(tr);
+            queue.add(tr);
+            while (!queue.isEmpty()) {
+                for (TeamRequirement otherTr : requirementArcs.get(queue.poll())) {
+                    if (reachable.add(otherTr)) {
+                        queue.add(otherTr);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return team requirements that have residual arcs from the applicant, that is, the ones they qualify for and are not on
+     */
+    private static Set<TeamRequirement> getQualifiedRequirements(FlowNetwork flowNetwork, Node applicantNode) {
+        Set<TeamRequirement> teamRequirements = newHashSet();
+        for (Node trNode : flowNetwork.getSuccessors(applicantNode)) {
+            if (flowNetwork.getArcCapacity(applicantNode, trNode) > 0 && trNode instanceof ValueNode<?> trValueNode
+                    && trValueNode.getValue() instanceof TeamRequirement tr) {
+                teamRequirements.add(tr);
+            }
+        }
+        return teamRequirements;
+    }
+
+    /**
+     * @return applicants that have flow to the team requirement, which shows as residual arcs from it
+     */
+    private static Set<Applicant> getTeamMembers(FlowNetwork flowNetwork, Node trNode) {
+        Set<Applicant> teamMembers = newHashSet();
+        for (Node teamMemberNode : flowNetwork.getSuccessors(trNode)) {
+            if (flowNetwork.getArcCapacity(trNode, teamMemberNode) > 0 && teamMemberNode instanceof ValueNode<?> teamMemberValueNode
+                    && teamMemberValueNode.getValue() instanceof Applicant teamMember) {
+                teamMembers.add(teamMember);
+            }
+        }
+        return teamMembers;
+    }
+
+    /**
+     * If the applicant is not placed, returns the saturated team requirements that block them, that is, the ones they qualify for
+     * and the ones their team members could move to, which are full as well, together with the team members of all of them.
+     */
+    public PlacementExplanation explain(Applicant applicant) {
+        checkNotNull(applicant);
+        checkState(teamNetwork.getFlowVersion() == flowVersion, "Flow has changed since the explainer was created");
+
+        TeamRequirement placedOn = placements.get(applicant);
+        if (placedOn != null) {
+            return new PlacementExplanation(applicant, placedOn, newHashSet(), newHashSet());
+        }
+        checkArgument(notPlaced.contains(applicant), "Applicant %s is not in the team network", applicant);
+
+        Set<TeamRequirement> blockingRequirements = newHashSet();
+        for (TeamRequirement tr : getQualifiedRequirements(teamNetwork.getFlowNetwork(), node(applicant))) {
+            blockingRequirements.addAll(reachableRequirements.get(tr));
+        }
+        Set<Applicant> competingApplicants = newHashSet();
+        for (TeamRequirement tr : blockingRequirements) {
+            competingApplicants.addAll(teamMembers.get(tr));
+        }
+        return new PlacementExplanation(applicant, null, blockingRequirements, competingApplicants);
+    }
+}
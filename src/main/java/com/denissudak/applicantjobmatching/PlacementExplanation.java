@@ -0,0 +1,36 @@
+package com.denissudak.applicantjobmatching;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Explains why an applicant was or was not placed on the team.
+ * If the applicant is not placed then every requirement they qualify for is blocking (all its positions are taken),
+ * and so is every requirement that the team members holding these positions could move to, and the requirements their team members
+ * could move to, and so on. The applicants holding the positions of all blocking requirements are competing with them.
+ * An applicant that is not placed and has no blocking requirements doesn't qualify for any of the team requirements.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class PlacementExplanation {
+
+    private final Applicant applicant;
+
+    private final TeamRequirement placedOn;
+
+    private final Set<TeamRequirement> blockingRequirements;
+
+    private final Set<Applicant> competingApplicants;
+
+    public boolean isPlaced() {
+        return placedOn != null;
+    }
+
+    public Optional<TeamRequirement> getPlacedOn() {
+        return Optional.ofNullable(placedOn);
+    }
+}
@@ -0,0 +1,43 @@
+package com.denissudak.applicantjobmatching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * A team that competes with other teams for the same applicants, see {@link MultiTeamNetwork}.
+ * {@code teamMembersRequired} caps the total number of team members across all team requirements,
+ * null means the team takes as many as its team requirements require.
+ * Teams with higher {@code priority} get their team members first.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class Team {
+
+    private String name;
+
+    private Set<TeamRequirement> teamRequirements;
+
+    private Integer teamMembersRequired;
+
+    private int priority;
+
+    public static Team newTeam(String name, TeamRequirement... teamRequirement) {
+        return new Team(name, newHashSet(teamRequirement), null, 0);
+    }
+
+    public int getTotalTeamMembersRequired() {
+        int required = teamRequirements.stream().mapToInt(TeamRequirement::getTeamMembersRequired).sum();
+        return teamMembersRequired == null ? required : Math.min(required, teamMembersRequired);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
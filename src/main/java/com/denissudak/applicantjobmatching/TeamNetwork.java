@@ -14,6 +14,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.util.Objects.requireNonNull;
 import static org.openstructures.flow.ValueNode.node;
 
@@ -21,10 +22,26 @@ public class TeamNetwork {
     @Getter
     private final FlowNetwork flowNetwork;
 
+    /**
+     * Applicants the network was built with, copied so that changes to the set they were given in don't reach the network
+     */
+    @Getter
+    private final Set<Applicant> applicants;
+
+    @Getter
+    private final Set<TeamRequirement> teamRequirements;
+
     private PushRelabelMaxFlow flow;
 
-    private TeamNetwork(FlowNetwork flowNetwork) {
+    /**
+     * Incremented every time the flow changes, so that {@link PlacementExplainer} can tell it is out of date
+     */
+    private int flowVersion;
+
+    private TeamNetwork(FlowNetwork flowNetwork, Set<Applicant> applicants, Set<TeamRequirement> teamRequirements) {
         this.flowNetwork = requireNonNull(flowNetwork);
+        this.applicants = Collections.unmodifiableSet(newLinkedHashSet(applicants));
+        this.teamRequirements = Collections.unmodifiableSet(newLinkedHashSet(teamRequirements));
     }
 
     private void setFlow() {
@@ -63,6 +80,7 @@ public class TeamNetwork {
         if (path.isEmpty()) {
             throw new IllegalStateException("There is not path between " + applicant + " and " + tr);
         } else {
+            flowVersion++;
             flow.pushFlow(1, flowNetwork.getSource(), node(applicant));
             pushOneAlongThePath(path);
             flow.pushFlow(1, trNode, flowNetwork.getSink());
@@ -95,11 +113,20 @@ public class TeamNetwork {
         if (flow == null) {
             setFlow();
         }
+        flowVersion++;
         flow.preflowPush();
     }
 
+    int getFlowVersion() {
+        return flowVersion;
+    }
+
+    boolean isFlowSet() {
+        return flow != null;
+    }
+
     private void checkFlowIsSet() {
-        checkState(flow != null, "Flow is not set");
+        checkState(isFlowSet(), "Flow is not set");
     }
 
     public int getFlowAmount() {
@@ -107,6 +134,18 @@ public class TeamNetwork {
         return flow.getFlowAmount();
     }
 
+    /**
+     * Computes the minimum cut of the current flow, which has to be maximum (see {@link #preflowPush()}),
+     * and returns the explainer that tells why applicants were not placed.
+     * The explainer describes the flow at the time of this call: once the flow is changed with {@link #setFlow(Applicant, TeamRequirement)}
+     * or {@link #preflowPush()} it throws {@link IllegalStateException} and a new one has to be created.
+     * Changes made directly to {@link #getFlowNetwork()} are not detected.
+     */
+    public PlacementExplainer getPlacementExplainer() {
+        checkFlowIsSet();
+        return new PlacementExplainer(this);
+    }
+
     /**
      * Team network is a network created from bipartite graph UV
      * where nodes in set U correspond of applicants and nodes in set V correspond to team requirements.
@@ -117,35 +156,61 @@ public class TeamNetwork {
      */
     public static TeamNetwork newTeamNetwork(BiPredicate<Applicant, Set<String>> applicantQualifications, Set<Applicant> applicants, Set<TeamRequirement> teamRequirements) {
         checkNotNull(applicantQualifications);
+
+        return newTeamNetwork(applicants, teamRequirements, (applicant, tr) -> applicantQualifications.test(applicant, tr.getRequiredSkills()));
+    }
+
+    /**
+     * Builds the team network where applicants are adjacent to the team requirements accepted by {@code qualifiedFor}
+     */
+    static TeamNetwork newTeamNetwork(Set<Applicant> applicants, Set<TeamRequirement> teamRequirements, BiPredicate<Applicant, TeamRequirement> qualifiedFor) {
         checkNotNull(applicants);
         checkNotNull(teamRequirements);
+        checkNotNull(qualifiedFor);
+
+        FlowNetwork flowNetwork = newApplicantsFlowNetwork(applicants, teamRequirements, qualifiedFor);
+        for (TeamRequirement tr : teamRequirements) {
+            flowNetwork.setArcCapacity(tr.getTeamMembersRequired(), node(tr), flowNetwork.getSink());
+        }
+
+        return new TeamNetwork(flowNetwork, applicants, teamRequirements);
+    }
 
+    /**
+     * Builds the part of the network that every network of applicants shares: source is adjacent to all applicants with arcs of capacity 1,
+     * and every applicant is adjacent to the nodes of the roles accepted by {@code qualifiedFor} with arcs of capacity 1.
+     * Arcs from the roles towards the sink are left to the caller.
+     */
+    static <R> FlowNetwork newApplicantsFlowNetwork(Set<Applicant> applicants, Collection<R> roles, BiPredicate<Applicant, R> qualifiedFor) {
         final Node source = new SourceNode();
         final Node sink = new SinkNode();
         FlowNetwork flowNetwork = new FlowNetwork(source, sink);
-        for (TeamRequirement tr : teamRequirements) {
-            flowNetwork.setArcCapacity(tr.getTeamMembersRequired(), node(tr), sink);
-        }
         for (Applicant applicant : applicants) {
-            flowNetwork.setArcCapacity(1, source, node(applicant));
-            for (TeamRequirement tr : teamRequirements) {
-                if (applicantQualifications.test(applicant, tr.getRequiredSkills())) {
-                    Node applicantNode = node(applicant);
-                    Node teamRequirementNode = node(tr);
-                    flowNetwork.setArcCapacity(1, applicantNode, teamRequirementNode);
+            Node applicantNode = node(applicant);
+            flowNetwork.setArcCapacity(1, source, applicantNode);
+            for (R role : roles) {
+                if (qualifiedFor.test(applicant, role)) {
+                    flowNetwork.setArcCapacity(1, applicantNode, node(role));
                 }
             }
         }
-
-        return new TeamNetwork(flowNetwork);
+        return flowNetwork;
     }
 
+    /**
+     * Team members assigned to a team requirement are the successors of its node in the residual network,
+     * so the assignments are read off the arcs of team requirement nodes that have flow to the sink.
+     */
     public Map<Applicant, Set<String>> getRoleAssignments() {
         Map<Applicant, Set<String>> roleAssignments = newHashMap();
         for (Node trNode : flowNetwork.getSuccessors(flowNetwork.getSink())) {
-            for (Node teamMemberNode : flowNetwork.getPredecessors(flowNetwork.getSource())) {
-                if (existsFlowBetweenNodes(trNode, teamMemberNode, flowNetwork)) {
-                    roleAssignments.put(((ValueNode<Applicant>) teamMemberNode).getValue(), ((ValueNode<TeamRequirement>) trNode).getValue().getRequiredSkills());
+            if (trNode instanceof ValueNode<?> trValueNode && trValueNode.getValue() instanceof TeamRequirement tr) {
+                for (Node teamMemberNode : flowNetwork.getSuccessors(trNode)) {
+                    if (existsFlowBetweenNodes(trNode, teamMemberNode, flowNetwork)
+                            && teamMemberNode instanceof ValueNode<?> teamMemberValueNode
+                            && teamMemberValueNode.getValue() instanceof Applicant teamMember) {
+                        roleAssignments.put(teamMember, tr.getRequiredSkills());
+                    }
                 }
             }
         }
@@ -160,11 +225,6 @@ public class TeamNetwork {
     }
 
     private static boolean existsFlowBetweenNodes(Node origin, Node destination, FlowNetwork teamNetwork) {
-        for (Node successor : teamNetwork.getSuccessors(origin)) {
-            if (successor.equals(destination)) {
-                return true;
-            }
-        }
-        return false;
+        return teamNetwork.getArcCapacity(origin, destination) > 0;
     }
 }
\ No newline at end of file
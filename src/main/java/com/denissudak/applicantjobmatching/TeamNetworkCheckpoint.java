@@ -0,0 +1,278 @@
+package com.denissudak.applicantjobmatching;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import org.openstructures.flow.FlowNetwork;
+import org.openstructures.flow.Node;
+import org.openstructures.flow.ValueNode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.openstructures.flow.ValueNode.node;
+
+/**
+ * Saves a {@link TeamNetwork} to a local file and restores it, so that a restarted service doesn't have to solve it again.
+ * <p>
+ * The file holds the latest checkpoint only: magic number, the payload and CRC32 checksum of both.
+ * The payload numbers applicants and team requirements and lists the arcs between them, marking the arcs that carry flow.
+ * The capacities of the remaining arcs follow from the team requirements, so the residual network is fully described by the arcs with flow.
+ * Push-relabel heights are not saved because {@link org.openstructures.flow.PushRelabelMaxFlow} doesn't expose them,
+ * instead the restored network has the same flow set with {@link TeamNetwork#setFlow(SetMultimap)},
+ * from which {@link TeamNetwork#preflowPush()} or incremental updates can continue.
+ * <p>
+ * A checkpoint is written to a temporary file next to the checkpoint, synced to disk and then moved over the checkpoint atomically.
+ * A write that fails or crashes leaves the previous checkpoint as it was. A failed write deletes its temporary file,
+ * and the next write replaces the one a crashed write left behind.
+ * A checkpoint that fails its checksum can only be damaged after it was written, so reading it fails rather than returns nothing.
+ */
+public class TeamNetworkCheckpoint {
+
+    private static final int MAGIC = 0x544E4332; // TNC2
+
+    private static final int CHECKSUM_LENGTH = Long.BYTES;
+
+    private TeamNetworkCheckpoint() {
+    }
+
+    /**
+     * Replaces the checkpoint in the file with the checkpoint of the team network, creating the file if it doesn't exist
+     */
+    public static void write(TeamNetwork teamNetwork, Path path) throws IOException {
+        checkNotNull(teamNetwork);
+        checkNotNull(path);
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temporaryPath.toFile())) {
+                CheckedOutputStream checkedOut = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+                DataOutputStream out = new DataOutputStream(checkedOut);
+                out.writeInt(MAGIC);
+                writePayload(teamNetwork, out);
+                out.writeLong(checkedOut.getChecksum().getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temporaryPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryPath);
+            throw e;
+        }
+    }
+
+    /**
+     * Restores the team network with new applicants and team requirements, see {@link TeamNetwork#getApplicants()} and {@link TeamNetwork#getTeamRequirements()}.
+     * {@link TeamRequirement} is compared by identity, so it's these, rather than team requirements the network was built from,
+     * that {@link TeamNetwork#setFlow(Applicant, TeamRequirement)} of the restored network accepts.
+     *
+     * @return the team network from the checkpoint in the file, or empty if there is no checkpoint
+     * @throws IOException if the checkpoint is damaged
+     */
+    public static Optional<TeamNetwork> read(Path path) throws IOException {
+        return read(path, UnaryOperator.identity(), UnaryOperator.identity());
+    }
+
+    /**
+     * Restores the team network with the given applicants and team requirements, so that they can be used with the restored network as they are.
+     * Saved applicants are matched with equal ones.
+     * Saved team requirements are matched with the ones that require the same skills, which role assignments rely on to tell them apart too,
+     * and have to require the same number of team members.
+     *
+     * @return the team network from the checkpoint in the file, or empty if there is no checkpoint
+     * @throws IllegalArgumentException if applicants or team requirements are not the ones that the team network was saved with
+     * @throws IOException              if the checkpoint is damaged
+     */
+    public static Optional<TeamNetwork> read(Path path, Set<Applicant> applicants, Set<TeamRequirement> teamRequirements) throws IOException {
+        checkNotNull(applicants);
+        checkNotNull(teamRequirements);
+
+        Map<Applicant, Applicant> liveApplicants = newHashMap();
+        applicants.forEach(applicant -> liveApplicants.put(applicant, applicant));
+        Map<Set<String>, TeamRequirement> liveTeamRequirements = newHashMap();
+        for (TeamRequirement tr : teamRequirements) {
+            checkArgument(liveTeamRequirements.put(tr.getRequiredSkills(), tr) == null, "More than one team requirement requires %s", tr.getRequiredSkills());
+        }
+        Optional<TeamNetwork> teamNetwork = read(path,
+                applicant -> {
+                    Applicant liveApplicant = liveApplicants.get(applicant);
+                    checkArgument(liveApplicant != null, "Applicant %s is not given", applicant);
+                    return liveApplicant;
+                },
+                tr -> {
+                    TeamRequirement liveTr = liveTeamRequirements.get(tr.getRequiredSkills());
+                    checkArgument(liveTr != null, "Team requirement of %s is not given", tr.getRequiredSkills());
+                    checkArgument(liveTr.getTeamMembersRequired().equals(tr.getTeamMembersRequired()),
+                            "Team requirement of %s requires %s team members, not %s", tr.getRequiredSkills(), tr.getTeamMembersRequired(), liveTr.getTeamMembersRequired());
+                    return liveTr;
+                });
+        teamNetwork.ifPresent(restored -> {
+            checkArgument(restored.getApplicants().size() == applicants.size(), "Applicants are not the ones the team network was saved with");
+            checkArgument(restored.getTeamRequirements().size() == teamRequirements.size(), "Team requirements are not the ones the team network was saved with");
+        });
+        return teamNetwork;
+    }
+
+    private static Optional<TeamNetwork> read(Path path, UnaryOperator<Applicant> applicants, UnaryOperator<TeamRequirement> teamRequirements) throws IOException {
+        checkNotNull(path);
+
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        checkChecksum(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Checkpoint " + path + " is not a team network checkpoint");
+            }
+            return Optional.of(readPayload(in, applicants, teamRequirements));
+        }
+    }
+
+    /**
+     * Reads the file once to compare the checksum of its contents with the one at the end, so that the payload is only parsed when it's intact
+     */
+    private static void checkChecksum(Path path) throws IOException {
+        long contentLength = Files.size(path) - CHECKSUM_LENGTH;
+        if (contentLength < Integer.BYTES) {
+            throw new IOException("Checkpoint " + path + " is damaged");
+        }
+        CRC32 crc32 = new CRC32();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            byte[] buffer = new byte[8192];
+            long remaining = contentLength;
+            while (remaining > 0) {
+                int read = file.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new IOException("Checkpoint " + path + " is damaged");
+                }
+                crc32.update(buffer, 0, read);
+                remaining -= read;
+            }
+            if (new DataInputStream(file).readLong() != crc32.getValue()) {
+                throw new IOException("Checkpoint " + path + " is damaged");
+            }
+        }
+    }
+
+    private static void writePayload(TeamNetwork teamNetwork, DataOutputStream out) throws IOException {
+        List<Applicant> applicants = newArrayList(teamNetwork.getApplicants());
+        List<TeamRequirement> teamRequirements = newArrayList(teamNetwork.getTeamRequirements());
+        Map<Applicant, Integer> applicantNumbers = newHashMap();
+        Map<TeamRequirement, Integer> teamRequirementNumbers = newHashMap();
+
+        out.writeInt(applicants.size());
+        for (Applicant applicant : applicants) {
+            applicantNumbers.put(applicant, applicantNumbers.size());
+            out.writeUTF(applicant.getName());
+            writeSkills(applicant.getSkills(), out);
+        }
+        out.writeInt(teamRequirements.size());
+        for (TeamRequirement tr : teamRequirements) {
+            teamRequirementNumbers.put(tr, teamRequirementNumbers.size());
+            out.writeInt(tr.getTeamMembersRequired());
+            writeSkills(tr.getRequiredSkills(), out);
+        }
+
+        /*
+         * An arc between an applicant and a team requirement is in the residual network either as it is, if it has no flow,
+         * or reversed, if it has flow.
+         */
+        FlowNetwork flowNetwork = teamNetwork.getFlowNetwork();
+        SetMultimap<Applicant, TeamRequirement> arcs = HashMultimap.create();
+        SetMultimap<Applicant, TeamRequirement> arcsWithFlow = HashMultimap.create();
+        for (Applicant applicant : applicants) {
+            Node applicantNode = node(applicant);
+            for (Node successor : flowNetwork.getSuccessors(applicantNode)) {
+                if (flowNetwork.getArcCapacity(applicantNode, successor) > 0 && successor instanceof ValueNode<?> valueNode
+                        && valueNode.getValue() instanceof TeamRequirement tr) {
+                    arcs.put(applicant, tr);
+                }
+            }
+        }
+        for (TeamRequirement tr : teamRequirements) {
+            Node trNode = node(tr);
+            for (Node successor : flowNetwork.getSuccessors(trNode)) {
+                if (flowNetwork.getArcCapacity(trNode, successor) > 0 && successor instanceof ValueNode<?> valueNode
+                        && valueNode.getValue() instanceof Applicant applicant) {
+                    arcs.put(applicant, tr);
+                    arcsWithFlow.put(applicant, tr);
+                }
+            }
+        }
+        out.writeBoolean(teamNetwork.isFlowSet());
+        out.writeInt(arcs.size());
+        for (Map.Entry<Applicant, TeamRequirement> arc : arcs.entries()) {
+            out.writeInt(applicantNumbers.get(arc.getKey()));
+            out.writeInt(teamRequirementNumbers.get(arc.getValue()));
+            out.writeBoolean(arcsWithFlow.containsEntry(arc.getKey(), arc.getValue()));
+        }
+    }
+
+    /**
+     * @param applicants       maps each saved applicant to the one the restored network is built with
+     * @param teamRequirements maps each saved team requirement to the one the restored network is built with
+     */
+    private static TeamNetwork readPayload(DataInputStream in, UnaryOperator<Applicant> applicants, UnaryOperator<TeamRequirement> teamRequirements) throws IOException {
+        List<Applicant> savedApplicants = newArrayList();
+        for (int i = in.readInt(); i > 0; i--) {
+            savedApplicants.add(applicants.apply(new Applicant(in.readUTF(), readSkills(in))));
+        }
+        List<TeamRequirement> savedTeamRequirements = newArrayList();
+        for (int i = in.readInt(); i > 0; i--) {
+            savedTeamRequirements.add(teamRequirements.apply(new TeamRequirement(in.readInt(), readSkills(in))));
+        }
+        boolean flowIsSet = in.readBoolean();
+        SetMultimap<Applicant, TeamRequirement> arcs = HashMultimap.create();
+        SetMultimap<TeamRequirement, Applicant> teamRolesAssignment = HashMultimap.create();
+        for (int i = in.readInt(); i > 0; i--) {
+            Applicant applicant = savedApplicants.get(in.readInt());
+            TeamRequirement tr = savedTeamRequirements.get(in.readInt());
+            arcs.put(applicant, tr);
+            if (in.readBoolean()) {
+                teamRolesAssignment.put(tr, applicant);
+            }
+        }
+
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(newLinkedHashSet(savedApplicants), newLinkedHashSet(savedTeamRequirements), arcs::containsEntry);
+        if (flowIsSet) {
+            teamNetwork.setFlow(teamRolesAssignment);
+        }
+        return teamNetwork;
+    }
+
+    private static void writeSkills(Set<String> skills, DataOutputStream out) throws IOException {
+        out.writeInt(skills.size());
+        for (String skill : skills) {
+            out.writeUTF(skill);
+        }
+    }
+
+    private static Set<String> readSkills(DataInputStream in) throws IOException {
+        Set<String> skills = newHashSet();
+        for (int i = in.readInt(); i > 0; i--) {
+            skills.add(in.readUTF());
+        }
+        return skills;
+    }
+}
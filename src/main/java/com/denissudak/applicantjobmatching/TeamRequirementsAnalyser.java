@@ -13,6 +13,7 @@ import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
 
@@ -60,6 +61,24 @@ public class TeamRequirementsAnalyser {
         return soughtAfterSkills;
     }
 
+    /**
+     * Roles in demand of each team allocated by {@link MultiTeamNetwork}, see {@link #getRolesInDemand(Set, Map, BiPredicate)}.
+     * No role is in demand in a team that already has {@link Team#getTotalTeamMembersRequired()} team members, because it can't take anyone else.
+     */
+    public Map<Team, Set<Set<String>>> getRolesInDemand(Map<Team, Map<Applicant, Set<String>>> roleAssignments, BiPredicate<Applicant, Set<String>> qualificationsPredicate) {
+        checkNotNull(roleAssignments);
+
+        Map<Team, Set<Set<String>>> rolesInDemand = newHashMap();
+        roleAssignments.forEach((team, teamRoleAssignments) -> {
+            if (teamRoleAssignments.size() < team.getTotalTeamMembersRequired()) {
+                rolesInDemand.put(team, getRolesInDemand(team.getTeamRequirements(), teamRoleAssignments, qualificationsPredicate));
+            } else {
+                rolesInDemand.put(team, newHashSet());
+            }
+        });
+        return rolesInDemand;
+    }
+
     private static SetMultimap<TeamRequirement, Applicant> getTeamRolesAssignment(Set<TeamRequirement> teamRequirements, Map<Applicant, Set<String>> jobAssignments) {
         SetMultimap<TeamRequirement, Applicant> matching = HashMultimap.create();
         for (Applicant contact : jobAssignments.keySet()) {
@@ -0,0 +1,104 @@
+package com.denissudak.applicantjobmatching;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.LongStream;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link MultiTeamNetwork} against {@link ReferenceSolver} on random teams, treating each team requirement of each team
+ * as a team requirement of its own. Teams don't limit their total team members, which the reference solver doesn't model.
+ */
+public class MultiTeamNetworkPropertyTest {
+
+    private final BiPredicate<Applicant, Set<String>> applicantQualifications = Applicant::hasSkills;
+
+    private static LongStream seeds() {
+        return LongStream.range(0, 200);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    public void shouldFindMaximumRoleAssignmentsForAllTeams(long seed) {
+        // given
+        RandomTeams randomTeams = new RandomTeams(seed, 6);
+        List<Applicant> applicants = randomTeams.newApplicants((int) (seed % 60));
+        List<Team> teams = newTeams(randomTeams, 1 + (int) (seed % 4), applicants.size(), team -> 0);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicants), newHashSet(teams));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        int expectedFlowAmount = ReferenceSolver.newReferenceSolver(applicants, getTeamRequirements(teams), applicantQualifications).solve();
+        assertThat(multiTeamNetwork.getFlowAmount()).as("flow amount, seed %d", seed).isEqualTo(expectedFlowAmount);
+        assertValidRoleAssignments(multiTeamNetwork.getRoleAssignments(), expectedFlowAmount, seed);
+    }
+
+    /**
+     * Teams with higher priority should get as many team members as if they were the only teams,
+     * and teams with lower priority should still get as many of the rest as possible
+     */
+    @ParameterizedTest
+    @MethodSource("seeds")
+    public void shouldFillTeamsWithHigherPriorityFirst(long seed) {
+        // given
+        RandomTeams randomTeams = new RandomTeams(seed, 6);
+        List<Applicant> applicants = randomTeams.newApplicants((int) (seed % 60));
+        List<Team> teams = newTeams(randomTeams, 2 + (int) (seed % 4), applicants.size(), team -> team % 2);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicants), newHashSet(teams));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        List<Team> teamsWithHigherPriority = teams.stream().filter(team -> team.getPriority() == 1).toList();
+        int expectedFlowAmount = ReferenceSolver.newReferenceSolver(applicants, getTeamRequirements(teams), applicantQualifications).solve();
+        int expectedHigherPriorityTeamMembers = ReferenceSolver.newReferenceSolver(applicants, getTeamRequirements(teamsWithHigherPriority), applicantQualifications).solve();
+        Map<Team, Map<Applicant, Set<String>>> roleAssignments = multiTeamNetwork.getRoleAssignments();
+        assertThat(multiTeamNetwork.getFlowAmount()).as("flow amount, seed %d", seed).isEqualTo(expectedFlowAmount);
+        assertThat(teamsWithHigherPriority.stream().mapToInt(team -> roleAssignments.get(team).size()).sum())
+                .as("team members of teams with higher priority, seed %d", seed).isEqualTo(expectedHigherPriorityTeamMembers);
+        assertValidRoleAssignments(roleAssignments, expectedFlowAmount, seed);
+    }
+
+    private static List<Team> newTeams(RandomTeams randomTeams, int count, int applicantsCount, IntUnaryOperator priority) {
+        List<Team> teams = newArrayList();
+        for (int i = 0; i < count; i++) {
+            List<TeamRequirement> teamRequirements = randomTeams.newTeamRequirements(1 + i % 3, applicantsCount / count);
+            teams.add(new Team("team" + i, newHashSet(teamRequirements), null, priority.applyAsInt(i)));
+        }
+        return teams;
+    }
+
+    private static List<TeamRequirement> getTeamRequirements(List<Team> teams) {
+        List<TeamRequirement> teamRequirements = newArrayList();
+        teams.forEach(team -> teamRequirements.addAll(team.getTeamRequirements()));
+        return teamRequirements;
+    }
+
+    private static void assertValidRoleAssignments(Map<Team, Map<Applicant, Set<String>>> roleAssignments, int flowAmount, long seed) {
+        assertThat(roleAssignments.values().stream().mapToInt(Map::size).sum()).as("role assignments, seed %d", seed).isEqualTo(flowAmount);
+        Set<Applicant> teamMembers = newHashSet();
+        roleAssignments.forEach((team, teamRoleAssignments) -> {
+            teamRoleAssignments.forEach((applicant, roleSkills) -> {
+                assertThat(teamMembers.add(applicant)).as("%s is on one team, seed %d", applicant, seed).isTrue();
+                assertThat(applicant.hasSkills(roleSkills)).as("%s has %s, seed %d", applicant, roleSkills, seed).isTrue();
+            });
+            for (TeamRequirement tr : team.getTeamRequirements()) {
+                assertThat(teamRoleAssignments.values().stream().filter(tr.getRequiredSkills()::equals).count())
+                        .as("%s %s team members, seed %d", team, tr.getRequiredSkills(), seed)
+                        .isLessThanOrEqualTo(tr.getTeamMembersRequired().longValue());
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.denissudak.applicantjobmatching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import static com.denissudak.applicantjobmatching.Applicant.newApplicant;
+import static com.denissudak.applicantjobmatching.Team.newTeam;
+import static com.denissudak.applicantjobmatching.TeamRequirement.newTeamRequirement;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MultiTeamNetworkTest {
+
+    private Applicant applicant1, applicant2, applicant3;
+
+    private final String skill1 = "skill1", skill2 = "skill2", skill3 = "skill3";
+
+    private final BiPredicate<Applicant, Set<String>> applicantQualifications = Applicant::hasSkills;
+
+    @BeforeEach
+    public void setUp() {
+        applicant1 = newApplicant("applicant1", skill1);
+        applicant2 = newApplicant("applicant2", skill1, skill2);
+        applicant3 = newApplicant("applicant3", skill2, skill3);
+    }
+
+    /**
+     * Both teams want applicant2, but they can only be on one of them
+     */
+    @Test
+    public void shouldAssignEveryApplicantToOneTeam() {
+        // given
+        Team team1 = newTeam("team1", newTeamRequirement(2, skill1));
+        Team team2 = newTeam("team2", newTeamRequirement(1, skill2));
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(team1, team2));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        assertThat(multiTeamNetwork.getFlowAmount()).isEqualTo(3);
+        Map<Team, Map<Applicant, Set<String>>> result = multiTeamNetwork.getRoleAssignments();
+        assertThat(result).containsOnlyKeys(team1, team2);
+        assertThat(result.get(team1)).hasSize(2).containsEntry(applicant1, newHashSet(skill1)).containsEntry(applicant2, newHashSet(skill1));
+        assertThat(result.get(team2)).containsOnlyKeys(applicant3);
+    }
+
+    @Test
+    public void shouldNotExceedTeamMembersRequiredByTeam() {
+        // given
+        Team team1 = new Team("team1", newHashSet(newTeamRequirement(2, skill1), newTeamRequirement(1, skill2)), 2, 0);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(team1));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        assertThat(multiTeamNetwork.getFlowAmount()).isEqualTo(2);
+        assertThat(multiTeamNetwork.getRoleAssignments().get(team1)).hasSize(2);
+    }
+
+    /**
+     * applicant2 is the only one who qualifies for either team, so the team with higher priority gets them
+     */
+    @Test
+    public void shouldAssignApplicantsToTeamsWithHigherPriorityFirst() {
+        // given
+        Team team1 = new Team("team1", newHashSet(newTeamRequirement(1, skill1, skill2)), null, 1);
+        Team team2 = new Team("team2", newHashSet(newTeamRequirement(1, skill1, skill2)), null, 2);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(team1, team2));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        assertThat(multiTeamNetwork.getFlowAmount()).isEqualTo(1);
+        assertThat(multiTeamNetwork.getRoleAssignments().get(team1)).isEmpty();
+        assertThat(multiTeamNetwork.getRoleAssignments().get(team2)).containsOnlyKeys(applicant2);
+    }
+
+    /**
+     * Lower priority of team2 shouldn't cost it applicant2 when team1 can do with applicant1.
+     * Whichever of them team1 takes first, the flow pushed for team2 moves applicant2 over to it.
+     */
+    @Test
+    public void shouldNotTakeApplicantsFromTeamsWithLowerPriorityUnnecessarily() {
+        // given
+        Team team1 = new Team("team1", newHashSet(newTeamRequirement(1, skill1)), null, 2);
+        Team team2 = new Team("team2", newHashSet(newTeamRequirement(1, skill2)), null, 1);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2), newHashSet(team1, team2));
+
+        // when
+        multiTeamNetwork.preflowPush();
+
+        // then
+        assertThat(multiTeamNetwork.getFlowAmount()).isEqualTo(2);
+        assertThat(multiTeamNetwork.getRoleAssignments().get(team1)).containsOnlyKeys(applicant1);
+        assertThat(multiTeamNetwork.getRoleAssignments().get(team2)).containsOnlyKeys(applicant2);
+    }
+
+    @Test
+    public void shouldGetRolesInDemandPerTeam() {
+        // given
+        Team team1 = newTeam("team1", newTeamRequirement(1, skill1), newTeamRequirement(1, skill3));
+        Team team2 = new Team("team2", newHashSet(newTeamRequirement(2, skill2)), 1, 0);
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(team1, team2));
+        multiTeamNetwork.preflowPush();
+
+        // when
+        Map<Team, Set<Set<String>>> result = new TeamRequirementsAnalyser().getRolesInDemand(multiTeamNetwork.getRoleAssignments(), applicantQualifications);
+
+        // then
+        assertThat(multiTeamNetwork.getFlowAmount()).isEqualTo(3);
+        assertThat(result).containsOnlyKeys(team1, team2);
+        assertThat(result.get(team1)).isEmpty();
+        assertThat(result.get(team2)).isEmpty();
+    }
+
+    @Test
+    public void shouldGetRolesInDemandOfTeamThatIsNotFull() {
+        // given
+        Team team1 = newTeam("team1", newTeamRequirement(1, skill1), newTeamRequirement(2, skill2));
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2), newHashSet(team1));
+        multiTeamNetwork.preflowPush();
+
+        // when
+        Map<Team, Set<Set<String>>> result = new TeamRequirementsAnalyser().getRolesInDemand(multiTeamNetwork.getRoleAssignments(), applicantQualifications);
+
+        // then
+        assertThat(result.get(team1)).containsOnly(newHashSet(skill2));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfFlowIsNotSet() {
+        // given
+        MultiTeamNetwork multiTeamNetwork = MultiTeamNetwork.newMultiTeamNetwork(applicantQualifications, newHashSet(applicant1), newHashSet(newTeam("team1", newTeamRequirement(1, skill1))));
+
+        // when and then expect exception
+        assertThrows(IllegalStateException.class, multiTeamNetwork::getFlowAmount);
+    }
+}
@@ -0,0 +1,156 @@
+package com.denissudak.applicantjobmatching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import static com.denissudak.applicantjobmatching.Applicant.newApplicant;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PlacementExplainerTest {
+
+    private Applicant applicant1, applicant2, applicant3, applicant4;
+
+    private final String skill1 = "skill1", skill2 = "skill2", skill3 = "skill3";
+
+    private TeamRequirement tr1, tr2;
+
+    private final BiPredicate<Applicant, Set<String>> applicantQualifications = Applicant::hasSkills;
+
+    private TeamNetwork teamNetwork;
+
+    @BeforeEach
+    public void setUp() {
+        tr1 = TeamRequirement.newTeamRequirement(1, skill1);
+        tr2 = TeamRequirement.newTeamRequirement(1, skill2);
+
+        applicant1 = newApplicant("applicant1", skill1);
+        applicant2 = newApplicant("applicant2", skill1);
+        applicant3 = newApplicant("applicant3", skill1, skill2);
+        applicant4 = newApplicant("applicant4", skill3);
+
+        teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3, applicant4), newHashSet(tr1, tr2));
+    }
+
+    /**
+     * applicant3 is the only one who can take tr2, so applicant1 and applicant2 compete for tr1
+     */
+    @Test
+    public void shouldExplainWhyApplicantWasNotPlaced() {
+        // given
+        teamNetwork.preflowPush();
+        PlacementExplainer placementExplainer = teamNetwork.getPlacementExplainer();
+        Applicant placed = teamNetwork.getRoleAssignments().containsKey(applicant1) ? applicant1 : applicant2;
+        Applicant notPlaced = placed == applicant1 ? applicant2 : applicant1;
+
+        // when
+        PlacementExplanation result = placementExplainer.explain(notPlaced);
+
+        // then
+        assertThat(result.isPlaced()).isFalse();
+        assertThat(result.getPlacedOn()).isEmpty();
+        assertThat(result.getBlockingRequirements()).containsOnly(tr1);
+        assertThat(result.getCompetingApplicants()).containsOnly(placed);
+    }
+
+    @Test
+    public void shouldExplainPlacedApplicant() {
+        // given
+        teamNetwork.preflowPush();
+        PlacementExplainer placementExplainer = teamNetwork.getPlacementExplainer();
+
+        // when
+        PlacementExplanation result = placementExplainer.explain(applicant3);
+
+        // then
+        assertThat(result.isPlaced()).isTrue();
+        assertThat(result.getPlacedOn()).contains(tr2);
+        assertThat(result.getBlockingRequirements()).isEmpty();
+        assertThat(result.getCompetingApplicants()).isEmpty();
+    }
+
+    /**
+     * It should return no blocking requirements for an applicant who doesn't qualify for any of them
+     */
+    @Test
+    public void shouldExplainUnqualifiedApplicant() {
+        // given
+        teamNetwork.preflowPush();
+
+        // when
+        PlacementExplanation result = teamNetwork.getPlacementExplainer().explain(applicant4);
+
+        // then
+        assertThat(result.isPlaced()).isFalse();
+        assertThat(result.getBlockingRequirements()).isEmpty();
+        assertThat(result.getCompetingApplicants()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfApplicantIsNotInTheNetwork() {
+        // given
+        teamNetwork.preflowPush();
+        PlacementExplainer placementExplainer = teamNetwork.getPlacementExplainer();
+
+        // when and then expect exception
+        assertThrows(IllegalArgumentException.class, () -> placementExplainer.explain(newApplicant("applicant5", skill1)));
+    }
+
+    /**
+     * The flow that only places applicant1 is not maximum – applicant3 could still take tr2
+     */
+    @Test
+    public void shouldThrowExceptionIfFlowIsNotMaximum() {
+        // given
+        teamNetwork.setFlow(applicant1, tr1);
+
+        // when and then expect exception
+        assertThrows(IllegalStateException.class, () -> teamNetwork.getPlacementExplainer());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfFlowIsNotSet() {
+        assertThrows(IllegalStateException.class, () -> teamNetwork.getPlacementExplainer());
+    }
+
+    /**
+     * applicant3 only qualifies for tr2, which is held by applicant2.
+     * applicant2 could move to tr1, but it is held by applicant1, who can't move anywhere, so both requirements block applicant3.
+     */
+    @Test
+    public void shouldExplainWithRequirementsThatTeamMembersCouldMoveTo() {
+        // given
+        Applicant applicant1 = newApplicant("applicant1", skill1);
+        Applicant applicant2 = newApplicant("applicant2", skill1, skill2);
+        Applicant applicant3 = newApplicant("applicant3", skill2);
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(tr1, tr2));
+        teamNetwork.setFlow(applicant1, tr1);
+        teamNetwork.setFlow(applicant2, tr2);
+
+        // when
+        PlacementExplanation result = teamNetwork.getPlacementExplainer().explain(applicant3);
+
+        // then
+        assertThat(result.isPlaced()).isFalse();
+        assertThat(result.getBlockingRequirements()).containsOnly(tr1, tr2);
+        assertThat(result.getCompetingApplicants()).containsOnly(applicant1, applicant2);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfFlowHasChanged() {
+        // given
+        teamNetwork.setFlow(applicant3, tr2);
+        teamNetwork.setFlow(applicant1, tr1);
+        PlacementExplainer placementExplainer = teamNetwork.getPlacementExplainer();
+
+        // when
+        teamNetwork.preflowPush();
+
+        // then expect exception
+        assertThrows(IllegalStateException.class, () -> placementExplainer.explain(applicant2));
+    }
+}
@@ -0,0 +1,57 @@
+package com.denissudak.applicantjobmatching;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Generates random applicants and team requirements from a pool of skills.
+ * Team requirements require one or two skills, applicants have from one to four of them.
+ * No two team requirements require the same skills, because role assignments refer to team requirements by their skills.
+ */
+class RandomTeams {
+
+    private final Random random;
+
+    private final int skillsCount;
+
+    RandomTeams(long seed, int skillsCount) {
+        this.random = new Random(seed);
+        this.skillsCount = skillsCount;
+    }
+
+    List<Applicant> newApplicants(int count) {
+        List<Applicant> applicants = newArrayList();
+        for (int i = 0; i < count; i++) {
+            applicants.add(new Applicant("applicant" + i, randomSkills(1 + random.nextInt(4))));
+        }
+        return applicants;
+    }
+
+    /**
+     * @param teamMembersRequired total number of team members required by all team requirements, roughly
+     */
+    List<TeamRequirement> newTeamRequirements(int count, int teamMembersRequired) {
+        int maxTeamMembersRequired = Math.max(1, 2 * teamMembersRequired / Math.max(1, count));
+        Set<Set<String>> requiredSkills = newHashSet();
+        while (requiredSkills.size() < count) {
+            requiredSkills.add(randomSkills(1 + random.nextInt(2)));
+        }
+        List<TeamRequirement> teamRequirements = newArrayList();
+        for (Set<String> skills : requiredSkills) {
+            teamRequirements.add(new TeamRequirement(1 + random.nextInt(maxTeamMembersRequired), skills));
+        }
+        return teamRequirements;
+    }
+
+    private Set<String> randomSkills(int count) {
+        Set<String> skills = newHashSet();
+        while (skills.size() < Math.min(count, skillsCount)) {
+            skills.add("skill" + random.nextInt(skillsCount));
+        }
+        return skills;
+    }
+}
@@ -0,0 +1,163 @@
+package com.denissudak.applicantjobmatching;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Straightforward solver used to verify {@link TeamNetwork}, {@link MultiTeamNetwork} and {@link TeamRequirementsAnalyser}.
+ * It finds the maximum assignment of applicants to team requirements with augmenting paths (Kuhn's algorithm),
+ * where a team requirement can hold as many applicants as it requires.
+ * Augmenting path search only recurses through team requirements, each visited once, so its depth is bounded by their number.
+ */
+class ReferenceSolver {
+
+    private final int[][] qualifications;
+
+    private final int[] capacities;
+
+    private final int[] assignments;
+
+    private final int[][] holders;
+
+    private final int[] holdersCount;
+
+    private final int[] visited;
+
+    private int visitStamp;
+
+    /**
+     * @param qualifications team requirement indices that each applicant qualifies for
+     * @param capacities     number of team members that each team requirement requires
+     */
+    ReferenceSolver(int[][] qualifications, int[] capacities) {
+        this.qualifications = qualifications;
+        this.capacities = capacities;
+        this.assignments = new int[qualifications.length];
+        Arrays.fill(assignments, -1);
+        this.holders = new int[capacities.length][];
+        for (int r = 0; r < capacities.length; r++) {
+            holders[r] = new int[capacities[r]];
+        }
+        this.holdersCount = new int[capacities.length];
+        this.visited = new int[capacities.length];
+    }
+
+    static ReferenceSolver newReferenceSolver(List<Applicant> applicants, List<TeamRequirement> teamRequirements, BiPredicate<Applicant, Set<String>> qualificationsPredicate) {
+        int[][] qualifications = new int[applicants.size()][];
+        for (int a = 0; a < applicants.size(); a++) {
+            qualifications[a] = qualifications(applicants.get(a), teamRequirements, qualificationsPredicate);
+        }
+        return new ReferenceSolver(qualifications, capacities(teamRequirements));
+    }
+
+    private static int[] qualifications(Applicant applicant, List<TeamRequirement> teamRequirements, BiPredicate<Applicant, Set<String>> qualificationsPredicate) {
+        return IntStream.range(0, teamRequirements.size())
+                .filter(r -> qualificationsPredicate.test(applicant, teamRequirements.get(r).getRequiredSkills()))
+                .toArray();
+    }
+
+    private static int[] capacities(List<TeamRequirement> teamRequirements) {
+        return teamRequirements.stream().mapToInt(TeamRequirement::getTeamMembersRequired).toArray();
+    }
+
+    /**
+     * Augments the assignment in rounds. A round that finds no augmenting path for any unassigned applicant
+     * leaves the assignment unchanged, so every search in it was exhaustive and the assignment is maximum.
+     */
+    int solve() {
+        boolean augmented = true;
+        while (augmented) {
+            augmented = false;
+            visitStamp++;
+            for (int a = 0; a < qualifications.length; a++) {
+                if (assignments[a] == -1 && augment(a)) {
+                    augmented = true;
+                }
+            }
+        }
+        return (int) Arrays.stream(assignments).filter(r -> r != -1).count();
+    }
+
+    private boolean augment(int applicant) {
+        for (int r : qualifications[applicant]) {
+            if (visited[r] == visitStamp) {
+                continue;
+            }
+            visited[r] = visitStamp;
+            if (holdersCount[r] < capacities[r]) {
+                holders[r][holdersCount[r]++] = applicant;
+                assignments[applicant] = r;
+                return true;
+            }
+            for (int i = 0; i < holdersCount[r]; i++) {
+                if (augment(holders[r][i])) { // the holder moved to another team requirement
+                    holders[r][i] = applicant;
+                    assignments[applicant] = r;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A role is in demand if its team requirement is not satisfied or if it is satisfied, but one of its team members could
+     * take another role without replacing anyone. The latter is checked by adding a copy of each of these team members
+     * and solving the team of team members from scratch.
+     */
+    static Set<Set<String>> getRolesInDemand(List<TeamRequirement> teamRequirements, Map<Applicant, Set<String>> roleAssignments, BiPredicate<Applicant, Set<String>> qualificationsPredicate) {
+        List<Applicant> teamMembers = List.copyOf(roleAssignments.keySet());
+        Set<Set<String>> rolesInDemand = newHashSet();
+        for (TeamRequirement tr : teamRequirements) {
+            List<Applicant> trTeamMembers = teamMembers.stream()
+                    .filter(teamMember -> roleAssignments.get(teamMember).equals(tr.getRequiredSkills()))
+                    .toList();
+            if (trTeamMembers.size() < tr.getTeamMembersRequired()) {
+                rolesInDemand.add(tr.getRequiredSkills());
+            } else {
+                int[][] qualifications = new int[teamMembers.size() + trTeamMembers.size()][];
+                for (int a = 0; a < teamMembers.size(); a++) {
+                    qualifications[a] = qualifications(teamMembers.get(a), teamRequirements, qualificationsPredicate);
+                }
+                for (int a = 0; a < trTeamMembers.size(); a++) {
+                    qualifications[teamMembers.size() + a] = qualifications(trTeamMembers.get(a), teamRequirements, qualificationsPredicate);
+                }
+                if (new ReferenceSolver(qualifications, capacities(teamRequirements)).solve() > teamMembers.size()) {
+                    rolesInDemand.add(tr.getRequiredSkills());
+                }
+            }
+        }
+        return rolesInDemand;
+    }
+
+    /**
+     * Team requirements that block the applicant who is not placed: the ones they qualify for,
+     * the ones team members of these qualify for, and so on.
+     */
+    static Set<TeamRequirement> getBlockingRequirements(Applicant applicant, List<TeamRequirement> teamRequirements, Map<Applicant, Set<String>> roleAssignments, BiPredicate<Applicant, Set<String>> qualificationsPredicate) {
+        Set<TeamRequirement> blockingRequirements = newHashSet();
+        Deque<Applicant> queue = new ArrayDeque<>();
+        queue.add(applicant);
+        while (!queue.isEmpty()) {
+            Applicant next = queue.poll();
+            for (TeamRequirement tr : teamRequirements) {
+                if (qualificationsPredicate.test(next, tr.getRequiredSkills()) && blockingRequirements.add(tr)) {
+                    roleAssignments.forEach((teamMember, roleSkills) -> {
+                        if (roleSkills.equals(tr.getRequiredSkills())) {
+                            queue.add(teamMember);
+                        }
+                    });
+                }
+            }
+        }
+        return blockingRequirements;
+    }
+}
@@ -0,0 +1,237 @@
+package com.denissudak.applicantjobmatching;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+import static com.denissudak.applicantjobmatching.Applicant.newApplicant;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TeamNetworkCheckpointTest {
+
+    private Applicant applicant1, applicant2, applicant3;
+
+    private final String skill1 = "skill1", skill2 = "skill2", skill3 = "skill3";
+
+    private TeamRequirement tr1, tr2, tr3;
+
+    private final BiPredicate<Applicant, Set<String>> applicantQualifications = Applicant::hasSkills;
+
+    @TempDir
+    Path tempDir;
+
+    private Path checkpoint;
+
+    @BeforeEach
+    public void setUp() {
+        tr1 = TeamRequirement.newTeamRequirement(1, skill1);
+        tr2 = TeamRequirement.newTeamRequirement(2, skill2);
+        tr3 = TeamRequirement.newTeamRequirement(2, skill3);
+
+        applicant1 = newApplicant("applicant1", skill1, skill2);
+        applicant2 = newApplicant("applicant2", skill1, skill2, skill3);
+        applicant3 = newApplicant("applicant3", skill2, skill3);
+
+        checkpoint = tempDir.resolve("team-network.checkpoint");
+    }
+
+    private TeamNetwork newTeamNetwork() {
+        return TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant2, applicant3), newHashSet(tr1, tr2, tr3));
+    }
+
+    @Test
+    public void shouldRestoreSolvedTeamNetwork() throws IOException {
+        // given
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.preflowPush();
+
+        // when
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+        Optional<TeamNetwork> result = TeamNetworkCheckpoint.read(checkpoint);
+
+        // then
+        assertThat(result).isPresent();
+        TeamNetwork restored = result.get();
+        assertThat(restored.getFlowAmount()).isEqualTo(3);
+        assertThat(restored.getRoleAssignments()).isEqualTo(teamNetwork.getRoleAssignments());
+        assertThat(restored.getApplicants()).containsExactlyInAnyOrder(applicant1, applicant2, applicant3);
+        assertThat(restored.getTeamRequirements()).extracting(TeamRequirement::getRequiredSkills)
+                .containsExactlyInAnyOrder(tr1.getRequiredSkills(), tr2.getRequiredSkills(), tr3.getRequiredSkills());
+    }
+
+    /**
+     * It should continue pushing the flow from where the checkpoint left it
+     */
+    @Test
+    public void shouldContinueFromRestoredFlow() throws IOException {
+        // given
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.setFlow(applicant2, tr2);
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+        TeamNetwork restored = TeamNetworkCheckpoint.read(checkpoint).orElseThrow();
+        assertThat(restored.getFlowAmount()).isEqualTo(1);
+        assertThat(restored.getRoleAssignments()).containsOnlyKeys(applicant2);
+
+        // when
+        restored.preflowPush();
+
+        // then
+        assertThat(restored.getFlowAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRestoreTeamNetworkWithoutFlow() throws IOException {
+        // given
+        TeamNetworkCheckpoint.write(newTeamNetwork(), checkpoint);
+        TeamNetwork restored = TeamNetworkCheckpoint.read(checkpoint).orElseThrow();
+
+        // when
+        restored.preflowPush();
+
+        // then
+        assertThat(restored.getFlowAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRestoreLastCheckpoint() throws IOException {
+        // given
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.setFlow(applicant2, tr2);
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+        teamNetwork.preflowPush();
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+
+        // when
+        TeamNetwork result = TeamNetworkCheckpoint.read(checkpoint).orElseThrow();
+
+        // then
+        assertThat(result.getFlowAmount()).isEqualTo(3);
+    }
+
+    /**
+     * The name of applicant4 is too long to be written, so the write fails after it has started writing the payload
+     */
+    @Test
+    public void shouldKeepPreviousCheckpointIfWriteFails() throws IOException {
+        // given
+        writeTwoCheckpoints();
+        Applicant applicant4 = newApplicant("a".repeat(70_000), skill1);
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicant1, applicant4), newHashSet(tr1));
+        teamNetwork.preflowPush();
+
+        // when
+        assertThrows(IOException.class, () -> TeamNetworkCheckpoint.write(teamNetwork, checkpoint));
+
+        // then
+        TeamNetwork result = TeamNetworkCheckpoint.read(checkpoint).orElseThrow();
+        assertThat(result.getFlowAmount()).isEqualTo(3);
+        assertThat(result.getApplicants()).containsExactlyInAnyOrder(applicant1, applicant2, applicant3);
+        assertThat(tempDir.resolve("team-network.checkpoint.tmp")).doesNotExist();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfCheckpointIsCorrupted() throws IOException {
+        // given
+        writeTwoCheckpoints();
+        byte[] file = Files.readAllBytes(checkpoint);
+        file[file.length - 10] ^= 1;
+        Files.write(checkpoint, file);
+
+        // when and then expect exception
+        assertThrows(IOException.class, () -> TeamNetworkCheckpoint.read(checkpoint));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfCheckpointIsTruncated() throws IOException {
+        // given
+        writeTwoCheckpoints();
+        byte[] file = Files.readAllBytes(checkpoint);
+        Files.write(checkpoint, Arrays.copyOf(file, file.length - 5));
+
+        // when and then expect exception
+        assertThrows(IOException.class, () -> TeamNetworkCheckpoint.read(checkpoint));
+    }
+
+    /**
+     * It should replace the temporary file left by a write that crashed
+     */
+    @Test
+    public void shouldWriteAfterIncompleteCheckpoint() throws IOException {
+        // given
+        writeTwoCheckpoints();
+        Files.write(tempDir.resolve("team-network.checkpoint.tmp"), new byte[]{1, 2, 3});
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.setFlow(applicant1, tr1);
+        teamNetwork.setFlow(applicant3, tr3);
+
+        // when
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+
+        // then
+        assertThat(TeamNetworkCheckpoint.read(checkpoint).orElseThrow().getFlowAmount()).isEqualTo(2);
+        assertThat(tempDir.resolve("team-network.checkpoint.tmp")).doesNotExist();
+    }
+
+    /**
+     * The restored network should accept the team requirements it was saved with, so that the flow can be updated with them
+     */
+    @Test
+    public void shouldRestoreWithGivenApplicantsAndTeamRequirements() throws IOException {
+        // given
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.setFlow(applicant2, tr2);
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+        TeamNetwork restored = TeamNetworkCheckpoint.read(checkpoint, newHashSet(applicant1, applicant2, applicant3), newHashSet(tr1, tr2, tr3)).orElseThrow();
+
+        // when
+        restored.setFlow(applicant1, tr1);
+        restored.setFlow(applicant3, tr3);
+
+        // then
+        assertThat(restored.getFlowAmount()).isEqualTo(3);
+        assertThat(restored.getTeamRequirements()).containsExactlyInAnyOrder(tr1, tr2, tr3);
+        assertThat(restored.getRoleAssignments())
+                .containsEntry(applicant1, tr1.getRequiredSkills())
+                .containsEntry(applicant2, tr2.getRequiredSkills())
+                .containsEntry(applicant3, tr3.getRequiredSkills());
+    }
+
+    @Test
+    public void shouldThrowExceptionIfTeamRequirementsAreNotTheOnesSaved() throws IOException {
+        // given
+        TeamNetworkCheckpoint.write(newTeamNetwork(), checkpoint);
+        Set<Applicant> applicants = newHashSet(applicant1, applicant2, applicant3);
+
+        // when and then expect exception
+        assertThrows(IllegalArgumentException.class, () -> TeamNetworkCheckpoint.read(checkpoint, applicants, newHashSet(tr1, tr2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TeamNetworkCheckpoint.read(checkpoint, applicants, newHashSet(tr1, tr2, TeamRequirement.newTeamRequirement(1, skill3))));
+    }
+
+    @Test
+    public void shouldReadNothingIfThereIsNoCheckpoint() throws IOException {
+        // when
+        Optional<TeamNetwork> result = TeamNetworkCheckpoint.read(checkpoint);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    private void writeTwoCheckpoints() throws IOException {
+        TeamNetwork teamNetwork = newTeamNetwork();
+        teamNetwork.setFlow(applicant2, tr2);
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+        teamNetwork.preflowPush();
+        TeamNetworkCheckpoint.write(teamNetwork, checkpoint);
+    }
+}
@@ -0,0 +1,225 @@
+package com.denissudak.applicantjobmatching;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.stream.LongStream;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link TeamNetwork} and {@link TeamRequirementsAnalyser} against {@link ReferenceSolver} on random teams.
+ * Every instance is generated from its seed, so a failing seed can be reproduced on its own.
+ * Timed scale tests are tagged {@code scale} and only run with the {@code scale} profile: {@code mvn test -Pscale}.
+ */
+public class TeamNetworkPropertyTest {
+
+    private static final int SCALE_TEST_APPLICANTS = 100_000;
+
+    /**
+     * Team sizes the scale test solves, as fractions of {@link #SCALE_TEST_APPLICANTS}: every size is twice the previous one
+     */
+    private static final int[] SCALE_TEST_DIVISORS = {16, 8, 4, 2, 1};
+
+    /**
+     * The largest exponent of the team size that the time fitted over all sizes may grow with.
+     * Linear growth fits an exponent close to 1, n^1.5 fits 1.5 and quadratic growth fits 2, so both fail,
+     * while noise of timing on a shared machine, which mostly affects the smaller sizes, is tolerated.
+     * n log n growth only fits about 1.1 over these sizes and is not told apart from linear growth.
+     */
+    private static final double SCALE_TEST_MAX_EXPONENT = 1.3;
+
+    private final BiPredicate<Applicant, Set<String>> applicantQualifications = Applicant::hasSkills;
+
+    private static LongStream seeds() {
+        return LongStream.range(0, 200);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    public void shouldFindMaximumValidRoleAssignments(long seed) {
+        // given
+        RandomTeams randomTeams = new RandomTeams(seed, 6);
+        List<Applicant> applicants = randomTeams.newApplicants((int) (seed % 60));
+        List<TeamRequirement> teamRequirements = randomTeams.newTeamRequirements(1 + (int) (seed % 10), applicants.size());
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicants), newHashSet(teamRequirements));
+
+        // when
+        teamNetwork.preflowPush();
+
+        // then
+        int expectedFlowAmount = ReferenceSolver.newReferenceSolver(applicants, teamRequirements, applicantQualifications).solve();
+        assertThat(teamNetwork.getFlowAmount()).as("flow amount, seed %d", seed).isEqualTo(expectedFlowAmount);
+        assertValidRoleAssignments(teamNetwork.getRoleAssignments(), teamRequirements, expectedFlowAmount, seed);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    public void shouldGetRolesInDemand(long seed) {
+        // given
+        RandomTeams randomTeams = new RandomTeams(seed, 5);
+        List<Applicant> applicants = randomTeams.newApplicants((int) (seed % 25));
+        List<TeamRequirement> teamRequirements = randomTeams.newTeamRequirements(1 + (int) (seed % 6), applicants.size());
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicants), newHashSet(teamRequirements));
+        teamNetwork.preflowPush();
+        Map<Applicant, Set<String>> roleAssignments = teamNetwork.getRoleAssignments();
+
+        // when
+        Set<Set<String>> result = new TeamRequirementsAnalyser().getRolesInDemand(newHashSet(teamRequirements), roleAssignments, applicantQualifications);
+
+        // then
+        assertThat(result).as("roles in demand, seed %d", seed)
+                .isEqualTo(ReferenceSolver.getRolesInDemand(teamRequirements, roleAssignments, applicantQualifications));
+    }
+
+    /**
+     * Every applicant who is not placed should be blocked by the full team requirements they qualify for,
+     * the full team requirements their team members qualify for, and so on, and should compete with the team members of all of them
+     */
+    @ParameterizedTest
+    @MethodSource("seeds")
+    public void shouldExplainWithBlockingRequirements(long seed) {
+        // given
+        RandomTeams randomTeams = new RandomTeams(seed, 6);
+        List<Applicant> applicants = randomTeams.newApplicants((int) (seed % 60));
+        List<TeamRequirement> teamRequirements = randomTeams.newTeamRequirements(1 + (int) (seed % 10), applicants.size() / 2);
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, newHashSet(applicants), newHashSet(teamRequirements));
+        teamNetwork.preflowPush();
+        Map<Applicant, Set<String>> roleAssignments = teamNetwork.getRoleAssignments();
+
+        // when
+        PlacementExplainer placementExplainer = teamNetwork.getPlacementExplainer();
+
+        // then
+        for (Applicant applicant : applicants) {
+            PlacementExplanation explanation = placementExplainer.explain(applicant);
+            assertThat(explanation.isPlaced()).as("%s is placed, seed %d", applicant, seed).isEqualTo(roleAssignments.containsKey(applicant));
+            if (!explanation.isPlaced()) {
+                Set<TeamRequirement> expectedBlockingRequirements = ReferenceSolver.getBlockingRequirements(applicant, teamRequirements, roleAssignments, applicantQualifications);
+                assertThat(explanation.getBlockingRequirements()).as("%s blocking requirements, seed %d", applicant, seed)
+                        .containsExactlyInAnyOrderElementsOf(expectedBlockingRequirements);
+                for (TeamRequirement tr : explanation.getBlockingRequirements()) {
+                    assertThat(countTeamMembers(roleAssignments, tr)).as("%s team members, seed %d", tr.getRequiredSkills(), seed)
+                            .isEqualTo(tr.getTeamMembersRequired().longValue());
+                }
+                Set<Applicant> expectedCompetingApplicants = newHashSet();
+                roleAssignments.forEach((teamMember, roleSkills) -> {
+                    if (expectedBlockingRequirements.stream().anyMatch(tr -> tr.getRequiredSkills().equals(roleSkills))) {
+                        expectedCompetingApplicants.add(teamMember);
+                    }
+                });
+                assertThat(explanation.getCompetingApplicants()).as("%s competing applicants, seed %d", applicant, seed)
+                        .containsExactlyInAnyOrderElementsOf(expectedCompetingApplicants);
+            }
+        }
+    }
+
+    /**
+     * Every applicant can be placed on the team requirement that requires no skills and has room for all of them
+     */
+    @Test
+    @Tag("scale")
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    public void shouldScaleLinearlyWhenEveryoneCanBePlaced() {
+        assertScalesLinearly(false);
+    }
+
+    /**
+     * There are ten times more applicants than positions, so the excess of most applicants has to return to the source
+     */
+    @Test
+    @Tag("scale")
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    public void shouldScaleLinearlyWhenOversubscribed() {
+        assertScalesLinearly(true);
+    }
+
+    /**
+     * Solves teams of sizes from {@link #SCALE_TEST_APPLICANTS} / 16 to {@link #SCALE_TEST_APPLICANTS}, taking the best of two times of each,
+     * and fits the exponent of the team size that the time grows with by least squares over the logarithms of sizes and times.
+     * Fails if the exponent is above {@link #SCALE_TEST_MAX_EXPONENT}.
+     */
+    private void assertScalesLinearly(boolean oversubscribed) {
+        solveScaleTest(SCALE_TEST_APPLICANTS / 4, oversubscribed); // warm up
+
+        int sizesCount = SCALE_TEST_DIVISORS.length;
+        double[] logSizes = new double[sizesCount];
+        double[] logTimes = new double[sizesCount];
+        StringBuilder times = new StringBuilder();
+        for (int i = 0; i < sizesCount; i++) {
+            int applicantsCount = SCALE_TEST_APPLICANTS / SCALE_TEST_DIVISORS[i];
+            long time = Math.min(solveScaleTest(applicantsCount, oversubscribed), solveScaleTest(applicantsCount, oversubscribed));
+            logSizes[i] = Math.log(applicantsCount);
+            logTimes[i] = Math.log(Math.max(time, 1));
+            times.append(String.format("%d applicants took %d ms; ", applicantsCount, time));
+        }
+        double meanLogSize = Arrays.stream(logSizes).average().orElseThrow();
+        double meanLogTime = Arrays.stream(logTimes).average().orElseThrow();
+        double covariance = 0, variance = 0;
+        for (int i = 0; i < sizesCount; i++) {
+            covariance += (logSizes[i] - meanLogSize) * (logTimes[i] - meanLogTime);
+            variance += (logSizes[i] - meanLogSize) * (logSizes[i] - meanLogSize);
+        }
+        double exponent = covariance / variance;
+
+        assertThat(exponent).as("growth exponent, %s", times).isLessThanOrEqualTo(SCALE_TEST_MAX_EXPONENT);
+    }
+
+    /**
+     * @param oversubscribed whether team requirements have room for a tenth of applicants only,
+     *                       otherwise there is also a team requirement that requires no skills and has room for all of them
+     * @return time in milliseconds it took to build the team network, find the maximum flow and get role assignments
+     */
+    private long solveScaleTest(int applicantsCount, boolean oversubscribed) {
+        RandomTeams randomTeams = new RandomTeams(applicantsCount, 20);
+        List<Applicant> applicants = randomTeams.newApplicants(applicantsCount);
+        List<TeamRequirement> teamRequirements;
+        if (oversubscribed) {
+            teamRequirements = randomTeams.newTeamRequirements(50, applicantsCount / 10);
+        } else {
+            teamRequirements = newArrayList(randomTeams.newTeamRequirements(50, applicantsCount / 2));
+            teamRequirements.add(TeamRequirement.newTeamRequirement(applicantsCount));
+        }
+        Set<Applicant> applicantsSet = newHashSet(applicants);
+        Set<TeamRequirement> teamRequirementsSet = newHashSet(teamRequirements);
+
+        long start = System.nanoTime();
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, applicantsSet, teamRequirementsSet);
+        teamNetwork.preflowPush();
+        Map<Applicant, Set<String>> roleAssignments = teamNetwork.getRoleAssignments();
+        long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int expectedFlowAmount = ReferenceSolver.newReferenceSolver(applicants, teamRequirements, applicantQualifications).solve();
+        assertThat(teamNetwork.getFlowAmount()).as("flow amount, %d applicants", applicantsCount).isEqualTo(expectedFlowAmount);
+        assertValidRoleAssignments(roleAssignments, teamRequirements, expectedFlowAmount, applicantsCount);
+        return time;
+    }
+
+    private static void assertValidRoleAssignments(Map<Applicant, Set<String>> roleAssignments, List<TeamRequirement> teamRequirements, int flowAmount, long seed) {
+        assertThat(roleAssignments).as("role assignments, seed %d", seed).hasSize(flowAmount);
+        roleAssignments.forEach((applicant, roleSkills) -> assertThat(applicant.hasSkills(roleSkills))
+                .as("%s has %s, seed %d", applicant, roleSkills, seed).isTrue());
+        for (TeamRequirement tr : teamRequirements) {
+            assertThat(countTeamMembers(roleAssignments, tr)).as("%s team members, seed %d", tr.getRequiredSkills(), seed)
+                    .isLessThanOrEqualTo(tr.getTeamMembersRequired().longValue());
+        }
+        Set<Set<String>> requiredSkills = newHashSet();
+        teamRequirements.forEach(tr -> requiredSkills.add(tr.getRequiredSkills()));
+        assertThat(requiredSkills).as("roles, seed %d", seed).containsAll(roleAssignments.values());
+    }
+
+    private static long countTeamMembers(Map<Applicant, Set<String>> roleAssignments, TeamRequirement tr) {
+        return roleAssignments.values().stream().filter(tr.getRequiredSkills()::equals).count();
+    }
+}
@@ -218,6 +218,26 @@ public class TeamNetworkTest {
         assertThat(result.get(applicant3)).isEqualTo(tr3.getRequiredSkills());
     }
 
+    /**
+     * Applicants and team requirements added to the sets the network was built from are not in the network, so it shouldn't report them
+     */
+    @Test
+    public void shouldNotChangeApplicantsAndTeamRequirementsWithTheSetsGiven() {
+        // given
+        Set<Applicant> applicants = newHashSet(applicant1, applicant2);
+        Set<TeamRequirement> teamRequirements = newHashSet(tr1, tr2);
+        TeamNetwork teamNetwork = TeamNetwork.newTeamNetwork(applicantQualifications, applicants, teamRequirements);
+
+        // when
+        applicants.add(applicant3);
+        teamRequirements.add(tr3);
+
+        // then
+        assertThat(teamNetwork.getApplicants()).containsExactlyInAnyOrder(applicant1, applicant2);
+        assertThat(teamNetwork.getTeamRequirements()).containsExactlyInAnyOrder(tr1, tr2);
+        assertThrows(UnsupportedOperationException.class, () -> teamNetwork.getApplicants().add(applicant3));
+    }
+
     private static Condition<? super FlowNetwork> containsPathBetween(Node tail, Node head) {
         return new Condition<>(flowNetwork -> pathSearch(flowNetwork, tail, head),
                 "Path between " + tail + " and " + head);